@@ -0,0 +1,111 @@
+#!/usr/bin/env bash
+# Compares startup time and first request latency of the JVM, AOT + AppCDS and native variants.
+#
+# Build the variants first:
+#   ./gradlew bootJar && cp build/libs/github_repos-0.0.1-SNAPSHOT.jar build/jvm.jar
+#   ./gradlew -Paot cdsArchive nativeCompile
+#
+# GitHub is replaced by a local WireMock stub serving src/test/resources/mappings, so the first request
+# measures the application warm-up rather than internet round trips (and doesn't burn the GitHub rate limit).
+#
+# Usage: benchmarks/startup.sh [runs]
+# Environment:
+#   BENCH_PORT          - port used by the application, defaults to 8080
+#   BENCH_STUB_PORT     - port used by the GitHub stub, defaults to 8089
+#   BENCH_FIRST_REQUEST - path of the measured first request, defaults to /repos/maciek-prokopiuk (stubbed)
+#   WIREMOCK_JAR        - WireMock standalone jar, downloaded to build/ when not set
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${BENCH_PORT:-8080}
+STUB_PORT=${BENCH_STUB_PORT:-8089}
+FIRST_REQUEST=${BENCH_FIRST_REQUEST:-/repos/maciek-prokopiuk}
+JAR_NAME=github_repos-0.0.1-SNAPSHOT.jar
+WIREMOCK_VERSION=3.6.0
+
+cd "$(dirname "$0")/.."
+
+stub_pid=
+cleanup() {
+  [[ -n $stub_pid ]] && kill "$stub_pid" 2> /dev/null || true
+}
+trap cleanup EXIT
+
+start_stub() {
+  local jar=${WIREMOCK_JAR:-build/wiremock-standalone-$WIREMOCK_VERSION.jar}
+  if [[ ! -e $jar ]]; then
+    mkdir -p build
+    curl -sfL -o "$jar" "https://repo1.maven.org/maven2/org/wiremock/wiremock-standalone/$WIREMOCK_VERSION/wiremock-standalone-$WIREMOCK_VERSION.jar"
+  fi
+  java -jar "$jar" --port "$STUB_PORT" --root-dir src/test/resources --disable-banner > /dev/null 2>&1 &
+  stub_pid=$!
+  until curl -sf "http://localhost:$STUB_PORT/__admin/mappings" > /dev/null; do
+    if ! kill -0 "$stub_pid" 2> /dev/null; then
+      echo "GitHub stub failed to start" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+# prints "<startup ms> <first request ms>" for a single run of the given command
+measure() {
+  local start pid ready first
+  start=$(now_ms)
+  # the stubbed branch mappings match per_page=1 only
+  "$@" --server.port="$PORT" --app.github.api-url="http://localhost:$STUB_PORT" --app.github.page-size=1 > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "application exited before becoming healthy: $*" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  ready=$(now_ms)
+  if ! first=$(curl -sf -o /dev/null -w '%{time_total}' -H 'Accept: application/json' "http://localhost:$PORT$FIRST_REQUEST"); then
+    echo "first request to $FIRST_REQUEST failed: $*" >&2
+    kill "$pid"
+    return 1
+  fi
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$((ready - start)) $(awk -v t="$first" 'BEGIN { printf "%d", t * 1000 }')"
+}
+
+benchmark() {
+  local name=$1
+  shift
+  local startup_total=0 request_total=0 result
+  for ((i = 0; i < RUNS; i++)); do
+    # measure runs in a subshell, abort the whole benchmark if it failed
+    result=$(measure "$@") || exit 1
+    read -ra result <<< "$result"
+    startup_total=$((startup_total + result[0]))
+    request_total=$((request_total + result[1]))
+  done
+  printf '%-12s startup %6d ms   first request %6d ms   (avg of %d runs)\n' \
+    "$name" $((startup_total / RUNS)) $((request_total / RUNS)) "$RUNS"
+}
+
+start_stub
+
+if [[ -e build/jvm.jar ]]; then
+  benchmark jvm java -jar build/jvm.jar
+else
+  echo "skipping jvm, build/jvm.jar not built"
+fi
+if [[ -e build/cds-archive/application.jsa ]]; then
+  benchmark aot+cds java -XX:SharedArchiveFile=build/cds-archive/application.jsa -Dspring.aot.enabled=true -jar "build/cds/$JAR_NAME"
+else
+  echo "skipping aot+cds, build/cds-archive/application.jsa not built"
+fi
+if [[ -x build/native/nativeCompile/user-repositories-service ]]; then
+  benchmark native build/native/nativeCompile/user-repositories-service
+else
+  echo "skipping native, build/native/nativeCompile/user-repositories-service not built"
+fi
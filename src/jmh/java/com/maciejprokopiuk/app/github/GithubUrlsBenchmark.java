@@ -0,0 +1,79 @@
+package com.maciejprokopiuk.app.github;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the previous regex / {@code String.format} based Link header parsing and URL building of {@link GithubClient}
+ * with {@link LinkHeader} and {@link GithubUrls}. Run with {@code ./gradlew jmh} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GithubUrlsBenchmark {
+
+    private static final String BASE_URL = "https://api.github.com";
+    private static final int PAGE_SIZE = 100;
+    // previous implementation matched rel="next" only, extended to all relations so both sides do the same work
+    private static final Pattern LINK_PATTERN = Pattern.compile("<([^>]+)>;\\s*rel=\"([^\"]+)\"");
+    private static final String BRANCHES_URL = "%s/repos/%s/%s/branches?per_page=%d";
+    private static final String REPOSE_URL = "%s/users/%s/repos?per_page=%d";
+
+    private final GithubUrls urls = new GithubUrls(BASE_URL, PAGE_SIZE);
+    private final String linkHeader = "<https://api.github.com/user/2781712/repos?per_page=100&page=3>; rel=\"prev\", "
+            + "<https://api.github.com/user/2781712/repos?per_page=100&page=5>; rel=\"next\", "
+            + "<https://api.github.com/user/2781712/repos?per_page=100&page=7>; rel=\"last\", "
+            + "<https://api.github.com/user/2781712/repos?per_page=100&page=1>; rel=\"first\"";
+    private final String owner = "maciek-prokopiuk";
+    private final String repositoryName = "codewise-internship-task-2k18";
+
+    @Benchmark
+    public LinkHeader regexLinkHeader() {
+        String next = null, prev = null, first = null, last = null;
+        Matcher matcher = LINK_PATTERN.matcher(linkHeader);
+        while (matcher.find()) {
+            switch (matcher.group(2)) {
+                case "next" -> next = matcher.group(1);
+                case "prev" -> prev = matcher.group(1);
+                case "first" -> first = matcher.group(1);
+                case "last" -> last = matcher.group(1);
+                default -> {
+                }
+            }
+        }
+        return new LinkHeader(next, prev, first, last);
+    }
+
+    @Benchmark
+    public LinkHeader linkHeaderParse() {
+        return LinkHeader.parse(linkHeader);
+    }
+
+    @Benchmark
+    public String formatRepositoriesUrl() {
+        return String.format(REPOSE_URL, BASE_URL, owner, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public String templateRepositoriesUrl() {
+        return urls.userRepositories(owner);
+    }
+
+    @Benchmark
+    public String formatBranchesUrl() {
+        return String.format(BRANCHES_URL, BASE_URL, owner, repositoryName, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public String templateBranchesUrl() {
+        return urls.repositoryBranches(owner, repositoryName);
+    }
+}
@@ -0,0 +1,41 @@
+package com.maciejprokopiuk.app.core.codecs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryListDto;
+import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@code application/cbor} responses. Same layout as the protobuf format - owner table plus raw SHAs,
+ * which CBOR stores as native byte strings. Field names come from the generated models, so they follow {@code api.yml}.
+ */
+@Component
+public class CompactCborEncoder extends CompactFormatEncoder {
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    public CompactCborEncoder() {
+        super(MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected byte[] encodeRepositories(CompactRepositoryListDto repositories) {
+        return write(repositories);
+    }
+
+    @Override
+    protected byte[] encodeError(ErrorResponseDto error) {
+        return write(error);
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return cborMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("Unable to encode " + value.getClass().getSimpleName() + " as CBOR", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.maciejprokopiuk.app.core.codecs;
+
+import com.maciejprokopiuk.app.core.models.BranchDto;
+import com.maciejprokopiuk.app.core.models.CompactBranchDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryListDto;
+import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
+import com.maciejprokopiuk.app.core.models.RepositoryDto;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base for the binary response formats. Repositories are collected into a single {@link CompactRepositoryListDto}
+ * (generated from {@code api.yml}), so owner logins can be deduplicated across the whole response.
+ */
+public abstract class CompactFormatEncoder extends AbstractEncoder<Object> {
+
+    protected CompactFormatEncoder(MediaType mediaType) {
+        super(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return (MediaType) getEncodableMimeTypes().get(0);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        var type = elementType.toClass();
+        return (RepositoryDto.class.isAssignableFrom(type) || ErrorResponseDto.class.isAssignableFrom(type))
+                && super.canEncode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        if (ErrorResponseDto.class.isAssignableFrom(elementType.toClass())) {
+            return Flux.from(inputStream)
+                       .map(error -> encodeValue(error, bufferFactory, elementType, mimeType, hints));
+        }
+        return Flux.from(inputStream)
+                   .cast(RepositoryDto.class)
+                   .collectList()
+                   .map(repositories -> bufferFactory.wrap(encodeRepositories(toCompactRepositoryList(repositories))))
+                   .flux();
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        var bytes = value instanceof ErrorResponseDto error
+                ? encodeError(error)
+                : encodeRepositories(toCompactRepositoryList(List.of((RepositoryDto) value)));
+        return bufferFactory.wrap(bytes);
+    }
+
+    protected abstract byte[] encodeRepositories(CompactRepositoryListDto repositories);
+
+    protected abstract byte[] encodeError(ErrorResponseDto error);
+
+    // owner logins are stored once and referenced by index, commit SHAs are kept as raw bytes
+    static CompactRepositoryListDto toCompactRepositoryList(List<RepositoryDto> repositories) {
+        var ownerIndexes = new HashMap<String, Integer>();
+        var owners = new ArrayList<String>();
+        var compactRepositories = new ArrayList<CompactRepositoryDto>(repositories.size());
+        for (var repository : repositories) {
+            var ownerIndex = ownerIndexes.computeIfAbsent(repository.getOwnerLogin(), owner -> {
+                owners.add(owner);
+                return owners.size() - 1;
+            });
+            var branches = repository.getBranches().stream()
+                                     .map(branch -> CompactBranchDto.builder()
+                                                                    .branchName(branch.getBranchName())
+                                                                    .lastCommitSHA(rawSha(repository, branch))
+                                                                    .build())
+                                     .toList();
+            compactRepositories.add(CompactRepositoryDto.builder()
+                                                        .repositoryName(repository.getRepositoryName())
+                                                        .ownerIndex(ownerIndex)
+                                                        .branches(branches)
+                                                        .build());
+        }
+        return CompactRepositoryListDto.builder()
+                                       .owners(owners)
+                                       .repositories(compactRepositories)
+                                       .build();
+    }
+
+    private static byte[] rawSha(RepositoryDto repository, BranchDto branch) {
+        if (branch.getLastCommitSHA() == null) {
+            throw invalidSha(repository, branch, null);
+        }
+        try {
+            return HexFormat.of().parseHex(branch.getLastCommitSHA());
+        } catch (IllegalArgumentException e) {
+            throw invalidSha(repository, branch, e);
+        }
+    }
+
+    private static EncodingException invalidSha(RepositoryDto repository, BranchDto branch, @Nullable Throwable cause) {
+        return new EncodingException("Last commit SHA '%s' of branch %s in %s/%s is not hex encoded"
+                                             .formatted(branch.getLastCommitSHA(), branch.getBranchName(), repository.getOwnerLogin(), repository.getRepositoryName()), cause);
+    }
+}
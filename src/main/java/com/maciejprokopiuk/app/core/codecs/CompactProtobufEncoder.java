@@ -0,0 +1,115 @@
+package com.maciejprokopiuk.app.core.codecs;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.maciejprokopiuk.app.core.models.CompactBranchDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryListDto;
+import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes {@code application/x-protobuf} responses following {@code proto/repositories.proto}.
+ * Messages are written straight to a {@link CodedOutputStream} - sizes of nested messages are computed up front,
+ * so there is no intermediate object tree and no protoc step in the build.
+ */
+@Component
+public class CompactProtobufEncoder extends CompactFormatEncoder {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final int LIST_OWNERS = 1;
+    private static final int LIST_REPOSITORIES = 2;
+    private static final int REPOSITORY_NAME = 1;
+    private static final int REPOSITORY_OWNER_INDEX = 2;
+    private static final int REPOSITORY_BRANCHES = 3;
+    private static final int BRANCH_NAME = 1;
+    private static final int BRANCH_LAST_COMMIT_SHA = 2;
+    private static final int ERROR_STATUS = 1;
+    private static final int ERROR_MESSAGE = 2;
+
+    public CompactProtobufEncoder() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected byte[] encodeRepositories(CompactRepositoryListDto repositories) {
+        var size = 0;
+        for (var owner : repositories.getOwners()) {
+            size += CodedOutputStream.computeStringSize(LIST_OWNERS, owner);
+        }
+        for (var repository : repositories.getRepositories()) {
+            size += computeMessageSize(LIST_REPOSITORIES, repositorySize(repository));
+        }
+
+        var bytes = new byte[size];
+        var output = CodedOutputStream.newInstance(bytes);
+        try {
+            for (var owner : repositories.getOwners()) {
+                output.writeString(LIST_OWNERS, owner);
+            }
+            for (var repository : repositories.getRepositories()) {
+                writeMessageHeader(output, LIST_REPOSITORIES, repositorySize(repository));
+                output.writeString(REPOSITORY_NAME, repository.getRepositoryName());
+                output.writeUInt32(REPOSITORY_OWNER_INDEX, repository.getOwnerIndex());
+                for (var branch : repository.getBranches()) {
+                    writeMessageHeader(output, REPOSITORY_BRANCHES, branchSize(branch));
+                    output.writeString(BRANCH_NAME, branch.getBranchName());
+                    output.writeByteArray(BRANCH_LAST_COMMIT_SHA, branch.getLastCommitSHA());
+                }
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected byte[] encodeError(ErrorResponseDto error) {
+        var size = CodedOutputStream.computeInt32Size(ERROR_STATUS, error.getStatus());
+        if (error.getMessage() != null) {
+            size += CodedOutputStream.computeStringSize(ERROR_MESSAGE, error.getMessage());
+        }
+
+        var bytes = new byte[size];
+        var output = CodedOutputStream.newInstance(bytes);
+        try {
+            output.writeInt32(ERROR_STATUS, error.getStatus());
+            if (error.getMessage() != null) {
+                output.writeString(ERROR_MESSAGE, error.getMessage());
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes;
+    }
+
+    private static int repositorySize(CompactRepositoryDto repository) {
+        var size = CodedOutputStream.computeStringSize(REPOSITORY_NAME, repository.getRepositoryName())
+                + CodedOutputStream.computeUInt32Size(REPOSITORY_OWNER_INDEX, repository.getOwnerIndex());
+        for (var branch : repository.getBranches()) {
+            size += computeMessageSize(REPOSITORY_BRANCHES, branchSize(branch));
+        }
+        return size;
+    }
+
+    private static int branchSize(CompactBranchDto branch) {
+        return CodedOutputStream.computeStringSize(BRANCH_NAME, branch.getBranchName())
+                + CodedOutputStream.computeByteArraySize(BRANCH_LAST_COMMIT_SHA, branch.getLastCommitSHA());
+    }
+
+    private static int computeMessageSize(int fieldNumber, int messageSize) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(messageSize) + messageSize;
+    }
+
+    private static void writeMessageHeader(CodedOutputStream output, int fieldNumber, int messageSize) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(messageSize);
+    }
+}
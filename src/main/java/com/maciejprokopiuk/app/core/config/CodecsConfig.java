@@ -0,0 +1,21 @@
+package com.maciejprokopiuk.app.core.config;
+
+import com.maciejprokopiuk.app.core.codecs.CompactFormatEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class CodecsConfig implements WebFluxConfigurer {
+
+    private final List<CompactFormatEncoder> compactFormatEncoders;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        compactFormatEncoders.forEach(encoder -> configurer.customCodecs().register(encoder));
+    }
+}
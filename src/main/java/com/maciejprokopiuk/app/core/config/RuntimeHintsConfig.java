@@ -0,0 +1,20 @@
+package com.maciejprokopiuk.app.core.config;
+
+import com.maciejprokopiuk.app.core.models.BranchDto;
+import com.maciejprokopiuk.app.core.models.CompactBranchDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryDto;
+import com.maciejprokopiuk.app.core.models.CompactRepositoryListDto;
+import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
+import com.maciejprokopiuk.app.core.models.RepositoryDto;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reflection hints for the AOT / native image build. Generated models are serialized by Jackson
+ * without any static reference Spring AOT could discover on its own.
+ */
+@Configuration
+@RegisterReflectionForBinding({RepositoryDto.class, BranchDto.class, ErrorResponseDto.class,
+        CompactRepositoryListDto.class, CompactRepositoryDto.class, CompactBranchDto.class})
+public class RuntimeHintsConfig {
+}
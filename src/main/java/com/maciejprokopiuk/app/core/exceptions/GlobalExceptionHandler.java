@@ -2,20 +2,31 @@ package com.maciejprokopiuk.app.core.exceptions;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maciejprokopiuk.app.core.codecs.CompactFormatEncoder;
 import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.server.NotAcceptableStatusException;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 
 @Component
@@ -25,6 +36,7 @@ import java.nio.charset.StandardCharsets;
 public class GlobalExceptionHandler implements WebExceptionHandler {
 
     private final ObjectMapper objectMapper;
+    private final List<CompactFormatEncoder> compactFormatEncoders;
 
     @SneakyThrows
     @Override
@@ -35,6 +47,15 @@ public class GlobalExceptionHandler implements WebExceptionHandler {
             return respond(exchange, notAcceptableException.getMessage(), HttpStatus.NOT_ACCEPTABLE);
         } else if (ex instanceof ForbiddenException forbidden) {
             return respond(exchange, forbidden.getMessage(), HttpStatus.FORBIDDEN);
+        } else if (ex instanceof UnauthorizedException unauthorized) {
+            return respond(exchange, unauthorized.getMessage(), HttpStatus.UNAUTHORIZED);
+        } else if (ex instanceof ServerWebInputException inputException) {
+            return respond(exchange, inputException.getReason(), HttpStatus.BAD_REQUEST);
+        } else if (ex instanceof DataBufferLimitException limitException) {
+            return respond(exchange, limitException.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE);
+        } else if (ex instanceof EncodingException encodingException) {
+            log.error("Unable to encode response", encodingException);
+            return respond(exchange, encodingException.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
         log.error("Unexpected error occurred", ex);
         return Mono.error(ex);
@@ -42,13 +63,47 @@ public class GlobalExceptionHandler implements WebExceptionHandler {
 
     public Mono<Void> respond(ServerWebExchange exchange, String reason, HttpStatus httpStatus) throws JsonProcessingException {
         exchange.getResponse().setStatusCode(httpStatus);
-        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
         var errorResponse = ErrorResponseDto.builder().status(httpStatus.value()).message(reason).build();
         var bufferFactory = exchange.getResponse().bufferFactory();
+
+        var compactEncoder = findCompactEncoder(exchange);
+        if (compactEncoder.isPresent()) {
+            var encoder = compactEncoder.get();
+            exchange.getResponse().getHeaders().setContentType(encoder.getMediaType());
+            var dataBuffer = encoder.encodeValue(errorResponse, bufferFactory, ResolvableType.forClass(ErrorResponseDto.class), encoder.getMediaType(), null);
+            return exchange.getResponse().writeWith(Mono.just(dataBuffer));
+        }
+
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
         var dataBuffer = bufferFactory.wrap(getBytes(errorResponse));
         return exchange.getResponse().writeWith(Mono.just(dataBuffer));
     }
 
+    // negotiated like the success response: the most preferred accepted type wins, JSON being produced first
+    private Optional<CompactFormatEncoder> findCompactEncoder(ServerWebExchange exchange) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(exchange.getRequest().getHeaders().getAccept());
+            MimeTypeUtils.sortBySpecificity(accepted); // MediaType specificity takes q-values into account first
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return Optional.empty();
+        }
+        for (var mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return Optional.empty();
+            }
+            for (var encoder : compactFormatEncoders) {
+                if (encoder.getMediaType().equalsTypeAndSubtype(mediaType)) {
+                    return Optional.of(encoder);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     private byte[] getBytes(ErrorResponseDto errorResponse) throws JsonProcessingException {
         return objectMapper.writeValueAsString(errorResponse).getBytes(StandardCharsets.UTF_8);
     }
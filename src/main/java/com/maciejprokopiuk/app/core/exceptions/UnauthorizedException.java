@@ -0,0 +1,7 @@
+package com.maciejprokopiuk.app.core.exceptions;
+
+public class UnauthorizedException extends ApplicationException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -19,15 +19,27 @@ public class GithubRepositoriesService implements UserRepositoriesService {
     private static final int CONCURRENCY_LEVEL = 10; // concurrency level for getting branches for multiple repos in parallel
 
     private final GithubClient reposClient;
+    private final GithubRepositoryCache repositoryCache;
 
     public Flux<RepositoryDto> getAllRepositoriesForUser(String username) {
-        return reposClient.getAllRepositoriesForUser(username, MinimalRepositoryDto.class)
-                          .filter(repo -> !repo.getFork())
-                          .flatMap(repo -> reposClient.getAllBranchesForRepo(username, repo.getName(), ShortBranchDto.class)
-                                                      .collectList()
-                                                      .map(branches -> GithubRepositoryMapper.mapToRepositoryDto(repo, branches)), CONCURRENCY_LEVEL);
-
+        // looked up on subscription, so a resubscribe or retry doesn't reuse an outdated cache decision
+        return Flux.defer(() -> {
+            var cached = repositoryCache.get(username);
+            if (cached.isPresent()) {
+                return Flux.fromIterable(cached.get());
+            }
+
+            var generation = repositoryCache.generation(username);
+            return reposClient.getAllRepositoriesForUser(username, MinimalRepositoryDto.class)
+                              .filter(repo -> !repo.getFork())
+                              .flatMap(repo -> reposClient.getAllBranchesForRepo(username, repo.getName(), ShortBranchDto.class)
+                                                          .collectList()
+                                                          .map(branches -> GithubRepositoryMapper.mapToRepositoryDto(repo, branches)), CONCURRENCY_LEVEL)
+                              .collectList()
+                              .doOnNext(repositories -> repositoryCache.put(username, generation, repositories))
+                              .flatMapIterable(repositories -> repositories);
+        });
     }
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.maciejprokopiuk.app.github;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.maciejprokopiuk.app.core.models.BranchDto;
+import com.maciejprokopiuk.app.core.models.RepositoryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the mapped repositories of a user, keyed by owner login (GitHub logins are case-insensitive).
+ * Entries live for {@code app.github.cache-ttl} and are kept fresh in between by GitHub webhooks,
+ * which either patch a single repository/branch in place or drop the whole entry.
+ * Cached lists are never mutated - every patch swaps in a new list.
+ * <p>
+ * Every entry carries a generation of its owner, bumped by each invalidation or patch. A fetch registers a pending entry
+ * and captures its generation before it starts, {@link #put(String, long, List)} drops the result if a webhook arrived
+ * in the meantime, so a slow fetch can't write an older snapshot over fresher webhook data.
+ */
+@Slf4j
+@Component
+public class GithubRepositoryCache {
+
+    private final Cache<String, Entry> entries;
+    private final Duration ttl;
+
+    public GithubRepositoryCache(@Value("${app.github.cache-ttl}") Duration ttl,
+                                 @Value("${app.github.cache-max-size}") int maxSize) {
+        this.ttl = ttl;
+        // expiry is fixed when an entry is fetched, patches keep it so the TTL still bounds missed webhooks
+        this.entries = Caffeine.newBuilder()
+                               .maximumSize(maxSize)
+                               .expireAfter(Expiry.writing((String key, Entry entry) -> Duration.between(Instant.now(), entry.expiresAt())))
+                               .build();
+    }
+
+    public Optional<List<RepositoryDto>> get(String owner) {
+        var entry = entries.getIfPresent(key(owner));
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.repositories());
+    }
+
+    /**
+     * Registers a fetch of the owner's repositories and returns the generation to pass to {@link #put(String, long, List)}.
+     */
+    public long generation(String owner) {
+        if (isDisabled()) {
+            return 0;
+        }
+        return entries.asMap()
+                      .compute(key(owner), (key, entry) -> entry != null ? entry : Entry.pending(0, expiresAt()))
+                      .generation();
+    }
+
+    /**
+     * Caches the repositories unless the owner's entry was invalidated or patched since {@code generation} was captured.
+     */
+    public void put(String owner, long generation, List<RepositoryDto> repositories) {
+        if (isDisabled()) {
+            return;
+        }
+        var fetched = List.copyOf(repositories);
+        entries.asMap().compute(key(owner), (key, current) -> {
+            if (current == null) {
+                log.debug("Pending entry of {} was evicted while fetching, not caching its repositories", owner);
+                return null;
+            }
+            if (current.generation() != generation) {
+                log.debug("Repositories of {} changed while they were fetched, not caching them", owner);
+                return current;
+            }
+            return new Entry(fetched, generation, expiresAt());
+        });
+    }
+
+    public void invalidate(String owner) {
+        // kept as a pending entry, so a fetch in flight sees the bumped generation
+        entries.asMap().computeIfPresent(key(owner), (key, entry) -> Entry.pending(entry.generation() + 1, expiresAt()));
+    }
+
+    public void invalidateAll() {
+        entries.asMap().replaceAll((key, entry) -> Entry.pending(entry.generation() + 1, expiresAt()));
+    }
+
+    /**
+     * Moves a branch from {@code previousSha} to {@code sha}, {@code null} {@code previousSha} meaning the branch was just created.
+     * Returns {@code false} if the repository is not part of the cached entry or the cached branch is not at {@code previousSha}
+     * (e.g. an out of order or redelivered push), so the caller can fall back to invalidation.
+     */
+    public boolean updateBranch(String owner, String repositoryName, String branchName, @Nullable String previousSha, String sha) {
+        return patchRepository(owner, repositoryName, branches -> {
+            var updated = new ArrayList<BranchDto>(branches.size() + 1);
+            var found = false;
+            for (var branch : branches) {
+                if (branch.getBranchName().equals(branchName)) {
+                    if (!branch.getLastCommitSHA().equals(previousSha)) {
+                        return null;
+                    }
+                    updated.add(new BranchDto(branchName, sha));
+                    found = true;
+                } else {
+                    updated.add(branch);
+                }
+            }
+            if (!found) {
+                if (previousSha != null) {
+                    return null;
+                }
+                updated.add(new BranchDto(branchName, sha));
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Removes a branch from a cached repository.
+     * Returns {@code false} if the repository is not part of the cached entry.
+     */
+    public boolean removeBranch(String owner, String repositoryName, String branchName) {
+        return patchRepository(owner, repositoryName, branches -> branches.stream()
+                                                                          .filter(branch -> !branch.getBranchName().equals(branchName))
+                                                                          .toList());
+    }
+
+    // patch returns null when it can't be applied, the entry is then left untouched
+    private boolean patchRepository(String owner, String repositoryName, UnaryOperator<List<BranchDto>> patch) {
+        var patched = new boolean[1];
+        entries.asMap().computeIfPresent(key(owner), (key, entry) -> {
+            if (entry.repositories() == null) {
+                // fetch in flight, bumping the generation keeps its older snapshot out of the cache
+                return Entry.pending(entry.generation() + 1, entry.expiresAt());
+            }
+            var repositories = new ArrayList<RepositoryDto>(entry.repositories().size());
+            for (var repository : entry.repositories()) {
+                if (repository.getRepositoryName().equalsIgnoreCase(repositoryName)) {
+                    var branches = patch.apply(repository.getBranches());
+                    if (branches == null) {
+                        patched[0] = false;
+                        return entry; // patch doesn't apply to the cached state
+                    }
+                    repositories.add(RepositoryDto.builder()
+                                                  .repositoryName(repository.getRepositoryName())
+                                                  .ownerLogin(repository.getOwnerLogin())
+                                                  .branches(List.copyOf(branches))
+                                                  .build());
+                    patched[0] = true;
+                } else {
+                    repositories.add(repository);
+                }
+            }
+            // bumped on every patch, a concurrent fetch of the same owner must not overwrite it
+            return patched[0] ? new Entry(List.copyOf(repositories), entry.generation() + 1, entry.expiresAt()) : entry;
+        });
+        return patched[0];
+    }
+
+    private boolean isDisabled() {
+        return ttl.isZero() || ttl.isNegative();
+    }
+
+    private Instant expiresAt() {
+        return Instant.now().plus(ttl);
+    }
+
+    private static String key(String owner) {
+        return owner.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cached repositories of an owner, {@code repositories} is {@code null} while they are being fetched.
+     */
+    private record Entry(@Nullable List<RepositoryDto> repositories, long generation, Instant expiresAt) {
+
+        static Entry pending(long generation, Instant expiresAt) {
+            return new Entry(null, generation, expiresAt);
+        }
+    }
+}
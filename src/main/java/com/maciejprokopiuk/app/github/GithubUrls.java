@@ -0,0 +1,73 @@
+package com.maciejprokopiuk.app.github;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Precompiled GitHub API URL templates. Constant parts are concatenated once, so building a URL is a single
+ * {@link StringBuilder} pass. User and repository names are percent-encoded as URI path segments.
+ */
+public final class GithubUrls {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String usersPrefix;
+    private final String reposPrefix;
+    private final String repositoriesSuffix;
+    private final String branchesSuffix;
+
+    public GithubUrls(String baseUrl, int pageSize) {
+        this.usersPrefix = baseUrl + "/users/";
+        this.reposPrefix = baseUrl + "/repos/";
+        this.repositoriesSuffix = "/repos?per_page=" + pageSize;
+        this.branchesSuffix = "/branches?per_page=" + pageSize;
+    }
+
+    public String userRepositories(String username) {
+        var url = new StringBuilder(usersPrefix.length() + username.length() + repositoriesSuffix.length());
+        url.append(usersPrefix);
+        appendPathSegment(url, username);
+        return url.append(repositoriesSuffix).toString();
+    }
+
+    public String repositoryBranches(String owner, String repositoryName) {
+        var url = new StringBuilder(reposPrefix.length() + owner.length() + repositoryName.length() + 1 + branchesSuffix.length());
+        url.append(reposPrefix);
+        appendPathSegment(url, owner);
+        url.append('/');
+        appendPathSegment(url, repositoryName);
+        return url.append(branchesSuffix).toString();
+    }
+
+    /**
+     * Appends the value percent-encoded, leaving only RFC 3986 unreserved characters as they are.
+     */
+    static void appendPathSegment(StringBuilder url, String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (isUnreserved(c)) {
+                url.append(c);
+            } else if (c < 0x80) {
+                appendEscaped(url, c);
+            } else {
+                // non-ASCII - escape the UTF-8 bytes of the whole remainder, it is rare enough to not optimize
+                for (var b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+                    if (isUnreserved((char) b)) {
+                        url.append((char) b);
+                    } else {
+                        appendEscaped(url, b & 0xFF);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private static void appendEscaped(StringBuilder url, int b) {
+        url.append('%').append(HEX_DIGITS[b >> 4]).append(HEX_DIGITS[b & 0xF]);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -0,0 +1,97 @@
+package com.maciejprokopiuk.app.github;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Pagination links of a GitHub response, e.g.
+ * {@code <https://api.github.com/user/1/repos?page=2>; rel="next", <https://api.github.com/user/1/repos?page=5>; rel="last"}.
+ * Parsed with a single forward scan - the only allocations are the link URLs themselves.
+ */
+public record LinkHeader(@Nullable String next, @Nullable String prev, @Nullable String first, @Nullable String last) {
+
+    public static final LinkHeader EMPTY = new LinkHeader(null, null, null, null);
+
+    public static LinkHeader parse(@Nullable String header) {
+        if (header == null || header.isEmpty()) {
+            return EMPTY;
+        }
+
+        String next = null, prev = null, first = null, last = null;
+        var length = header.length();
+        var position = 0;
+        while (position < length) {
+            var urlStart = header.indexOf('<', position);
+            if (urlStart < 0) {
+                break;
+            }
+            var urlEnd = header.indexOf('>', urlStart + 1);
+            if (urlEnd < 0) {
+                break;
+            }
+            var linkEnd = header.indexOf(',', urlEnd + 1);
+            if (linkEnd < 0) {
+                linkEnd = length;
+            }
+
+            var relStart = findRelValue(header, urlEnd + 1, linkEnd);
+            if (relStart >= 0) {
+                // rel may hold several space separated relation types, e.g. rel="prev first"
+                var relEnd = relStart;
+                while (relEnd < linkEnd && header.charAt(relEnd) != '"' && header.charAt(relEnd) != ';') {
+                    relEnd++;
+                }
+                String url = null;
+                var tokenStart = relStart;
+                while (tokenStart < relEnd) {
+                    var tokenEnd = tokenStart;
+                    while (tokenEnd < relEnd && header.charAt(tokenEnd) != ' ') {
+                        tokenEnd++;
+                    }
+                    var tokenLength = tokenEnd - tokenStart;
+                    if (isRel(header, tokenStart, tokenLength, "next") && next == null) {
+                        next = url = url != null ? url : header.substring(urlStart + 1, urlEnd);
+                    } else if (isRel(header, tokenStart, tokenLength, "prev") && prev == null) {
+                        prev = url = url != null ? url : header.substring(urlStart + 1, urlEnd);
+                    } else if (isRel(header, tokenStart, tokenLength, "first") && first == null) {
+                        first = url = url != null ? url : header.substring(urlStart + 1, urlEnd);
+                    } else if (isRel(header, tokenStart, tokenLength, "last") && last == null) {
+                        last = url = url != null ? url : header.substring(urlStart + 1, urlEnd);
+                    }
+                    tokenStart = tokenEnd + 1;
+                }
+            }
+            position = linkEnd + 1;
+        }
+        return next == null && prev == null && first == null && last == null ? EMPTY : new LinkHeader(next, prev, first, last);
+    }
+
+    // start of the rel parameter value (after the opening quote, if quoted), -1 if the link has no rel parameter
+    private static int findRelValue(String header, int from, int to) {
+        var position = header.indexOf(';', from);
+        while (position >= 0 && position < to) {
+            var nameStart = position + 1;
+            while (nameStart < to && header.charAt(nameStart) == ' ') {
+                nameStart++;
+            }
+            if (header.regionMatches(true, nameStart, "rel", 0, 3)) {
+                var valueStart = nameStart + 3;
+                while (valueStart < to && header.charAt(valueStart) == ' ') {
+                    valueStart++;
+                }
+                if (valueStart < to && header.charAt(valueStart) == '=') {
+                    valueStart++;
+                    while (valueStart < to && header.charAt(valueStart) == ' ') {
+                        valueStart++;
+                    }
+                    return valueStart < to && header.charAt(valueStart) == '"' ? valueStart + 1 : valueStart;
+                }
+            }
+            position = header.indexOf(';', position + 1);
+        }
+        return -1;
+    }
+
+    private static boolean isRel(String header, int start, int length, String rel) {
+        return length == rel.length() && header.regionMatches(true, start, rel, 0, length);
+    }
+}
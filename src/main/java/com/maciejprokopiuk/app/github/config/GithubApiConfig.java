@@ -1,6 +1,9 @@
 package com.maciejprokopiuk.app.github.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maciejprokopiuk.github.models.MinimalRepositoryDto;
+import com.maciejprokopiuk.github.models.ShortBranchDto;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +14,8 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
+// only the models actually bound from GitHub responses, hints cover their nested types as well
+@RegisterReflectionForBinding({MinimalRepositoryDto.class, ShortBranchDto.class})
 public class GithubApiConfig {
 
     @Bean
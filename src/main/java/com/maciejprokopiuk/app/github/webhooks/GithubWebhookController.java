@@ -0,0 +1,55 @@
+package com.maciejprokopiuk.app.github.webhooks;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Inbound GitHub webhook endpoint. It lives in the github adapter rather than in {@code api.yml}
+ * because the HMAC signature has to be checked against the raw, undeserialized payload.
+ */
+@RestController
+@RequiredArgsConstructor
+public class GithubWebhookController {
+
+    public static final String EVENT_HEADER_NAME = "X-GitHub-Event";
+    public static final String SIGNATURE_HEADER_NAME = "X-Hub-Signature-256";
+
+    // GitHub caps webhook payloads at 25 MB, push events with many commits go well past spring.codec.max-in-memory-size
+    static final int MAX_PAYLOAD_SIZE = 25 * 1024 * 1024;
+
+    private final GithubWebhookSignatureVerifier signatureVerifier;
+    private final GithubWebhookEventHandler eventHandler;
+
+    @PostMapping(value = "/webhooks/github", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Void>> handleWebhook(@RequestHeader(EVENT_HEADER_NAME) String event,
+                                                    @RequestHeader(value = SIGNATURE_HEADER_NAME, required = false) String signature,
+                                                    @RequestBody Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body, MAX_PAYLOAD_SIZE)
+                              .map(GithubWebhookController::toBytes)
+                              .defaultIfEmpty(new byte[0])
+                              .map(payload -> {
+                                  signatureVerifier.verify(payload, signature);
+                                  eventHandler.handle(event, payload);
+                                  return ResponseEntity.noContent().<Void>build();
+                              });
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            var bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
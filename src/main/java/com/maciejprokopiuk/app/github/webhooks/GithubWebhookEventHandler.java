@@ -0,0 +1,110 @@
+package com.maciejprokopiuk.app.github.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maciejprokopiuk.app.github.GithubRepositoryCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.io.IOException;
+import java.util.HexFormat;
+
+/**
+ * Applies GitHub {@code push}, {@code delete} and {@code repository} events to the {@link GithubRepositoryCache}.
+ * Branch level changes are patched in place, anything that can't be expressed as a patch drops the owner's entry.
+ * {@code create} events are only acknowledged - tags are not cached and a new branch is patched by its {@code push} event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GithubWebhookEventHandler {
+
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    private static final String REF_TYPE_BRANCH = "branch";
+    private static final int SHA_LENGTH = 40;
+    private static final String NULL_SHA = "0".repeat(SHA_LENGTH); // "before" of a newly created branch
+
+    private final ObjectMapper objectMapper;
+    private final GithubRepositoryCache repositoryCache;
+
+    public void handle(String event, byte[] payload) {
+        var root = readPayload(payload);
+        var repository = root.path("repository");
+        var owner = repository.path("owner").path("login").asText(null);
+        var repositoryName = repository.path("name").asText(null);
+        if (owner == null || repositoryName == null) {
+            log.debug("Ignoring {} event without repository details", event);
+            return;
+        }
+
+        switch (event) {
+            case "push" -> handlePush(root, owner, repositoryName);
+            case "create" -> log.debug("Ignoring create event for {}/{}, the following push event carries the commit SHA", owner, repositoryName);
+            case "delete" -> handleDelete(root, owner, repositoryName);
+            case "repository" -> handleRepository(root, owner);
+            default -> log.debug("Ignoring unsupported {} event", event);
+        }
+    }
+
+    private void handlePush(JsonNode root, String owner, String repositoryName) {
+        var ref = root.path("ref").asText("");
+        if (!ref.startsWith(BRANCH_REF_PREFIX)) {
+            return; // tags are not part of the cached data
+        }
+        var branchName = ref.substring(BRANCH_REF_PREFIX.length());
+        var deleted = root.path("deleted").asBoolean(false);
+        var previousSha = root.path("before").asText("");
+        var sha = root.path("after").asText("");
+        if (!deleted && (!isCommitSha(previousSha) || !isCommitSha(sha))) {
+            log.warn("Push event for {}/{} without valid commit SHAs, dropping the cached entry", owner, repositoryName);
+            repositoryCache.invalidate(owner);
+            return;
+        }
+        // GitHub doesn't guarantee delivery order, the SHA is only moved forward from the state this push started at
+        var patched = deleted
+                ? repositoryCache.removeBranch(owner, repositoryName, branchName)
+                : repositoryCache.updateBranch(owner, repositoryName, branchName, NULL_SHA.equals(previousSha) ? null : previousSha, sha);
+        if (!patched && !root.path("repository").path("fork").asBoolean(false)) {
+            // repository unknown to the cached entry (e.g. created after the entry was loaded) or the push doesn't follow the cached SHA
+            repositoryCache.invalidate(owner);
+        }
+    }
+
+    private void handleDelete(JsonNode root, String owner, String repositoryName) {
+        if (!REF_TYPE_BRANCH.equals(root.path("ref_type").asText())) {
+            return;
+        }
+        repositoryCache.removeBranch(owner, repositoryName, root.path("ref").asText());
+    }
+
+    private void handleRepository(JsonNode root, String owner) {
+        repositoryCache.invalidate(owner);
+        // transferred repositories also disappear from the previous owner's list
+        var previousOwner = root.path("changes").path("owner").path("from").path("user").path("login").asText(null);
+        if (previousOwner != null) {
+            repositoryCache.invalidate(previousOwner);
+        }
+    }
+
+    private static boolean isCommitSha(String sha) {
+        if (sha.length() != SHA_LENGTH) {
+            return false;
+        }
+        for (var i = 0; i < SHA_LENGTH; i++) {
+            if (!HexFormat.isHexDigit(sha.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonNode readPayload(byte[] payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new ServerWebInputException("Malformed webhook payload");
+        }
+    }
+}
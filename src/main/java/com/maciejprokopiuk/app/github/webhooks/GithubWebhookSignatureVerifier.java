@@ -0,0 +1,60 @@
+package com.maciejprokopiuk.app.github.webhooks;
+
+import com.maciejprokopiuk.app.core.exceptions.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Verifies the {@code X-Hub-Signature-256} header GitHub attaches to webhook deliveries
+ * (HMAC-SHA256 of the raw payload, keyed with the webhook secret).
+ */
+@Component
+public class GithubWebhookSignatureVerifier {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final SecretKeySpec secretKey;
+
+    public GithubWebhookSignatureVerifier(@Value("${app.github.webhook-secret}") String webhookSecret) {
+        this.secretKey = webhookSecret.isBlank() ? null : new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    public void verify(byte[] payload, String signatureHeader) {
+        if (secretKey == null) {
+            throw new UnauthorizedException("Webhook secret is not configured, deliveries are rejected");
+        }
+        if (signatureHeader == null || !signatureHeader.startsWith(SIGNATURE_PREFIX)) {
+            throw new UnauthorizedException("Missing or malformed webhook signature");
+        }
+
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(signatureHeader, SIGNATURE_PREFIX.length(), signatureHeader.length());
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedException("Missing or malformed webhook signature");
+        }
+
+        // constant-time comparison, so the signature can't be guessed byte by byte
+        if (!MessageDigest.isEqual(expected, sign(payload))) {
+            throw new UnauthorizedException("Invalid webhook signature");
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to compute webhook signature", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.maciejprokopiuk.app.core.codecs;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.maciejprokopiuk.app.core.models.BranchDto;
+import com.maciejprokopiuk.app.core.models.ErrorResponseDto;
+import com.maciejprokopiuk.app.core.models.RepositoryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactFormatEncoderTest {
+
+    private static final String SHA = "6dcb09b5b57875f334f61aebed695e2e4193db5e";
+
+    private final List<RepositoryDto> repositories = List.of(
+            repository("repo1", "testUser", new BranchDto("main", SHA)),
+            repository("repo2", "testUser", new BranchDto("main", SHA), new BranchDto("develop", SHA)));
+
+    @Test
+    void should_deduplicate_owners_and_decode_shas() {
+        // When
+        var result = CompactFormatEncoder.toCompactRepositoryList(repositories);
+
+        // Then
+        assertEquals(List.of("testUser"), result.getOwners());
+        assertEquals(0, result.getRepositories().get(1).getOwnerIndex());
+        assertEquals(20, result.getRepositories().get(0).getBranches().get(0).getLastCommitSHA().length);
+    }
+
+    @Test
+    void should_encode_repositories_as_protobuf() throws Exception {
+        // When
+        var bytes = encode(new CompactProtobufEncoder(), repositories);
+
+        // Then
+        var input = CodedInputStream.newInstance(bytes);
+        var owners = new ArrayList<String>();
+        var repositoryNames = new ArrayList<String>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> owners.add(input.readString());
+                case 2 -> {
+                    var limit = input.pushLimit(input.readRawVarint32());
+                    assertEquals(1, WireFormat.getTagFieldNumber(input.readTag()));
+                    repositoryNames.add(input.readString());
+                    assertEquals(2, WireFormat.getTagFieldNumber(input.readTag()));
+                    assertEquals(0, input.readUInt32());
+                    assertEquals(3, WireFormat.getTagFieldNumber(input.readTag()));
+                    var branchLimit = input.pushLimit(input.readRawVarint32());
+                    assertEquals(1, WireFormat.getTagFieldNumber(input.readTag()));
+                    assertEquals("main", input.readString());
+                    assertEquals(2, WireFormat.getTagFieldNumber(input.readTag()));
+                    assertEquals(SHA, HexFormat.of().formatHex(input.readByteArray()));
+                    input.popLimit(branchLimit);
+                    input.skipMessage();
+                    input.popLimit(limit);
+                }
+                default -> fail("Unexpected field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        assertEquals(List.of("testUser"), owners);
+        assertEquals(List.of("repo1", "repo2"), repositoryNames);
+    }
+
+    @Test
+    void should_encode_repositories_as_cbor() throws Exception {
+        // When
+        var bytes = encode(new CompactCborEncoder(), repositories);
+
+        // Then
+        var tree = new CBORMapper().readTree(bytes);
+        assertEquals("testUser", tree.get("owners").get(0).asText());
+        assertEquals(1, tree.get("owners").size());
+        assertEquals("repo2", tree.get("repositories").get(1).get("repositoryName").asText());
+        assertEquals(SHA, HexFormat.of().formatHex(tree.get("repositories").get(1).get("branches").get(1).get("lastCommitSHA").binaryValue()));
+    }
+
+    @Test
+    void should_reject_non_hex_sha_with_context() {
+        // Given
+        var invalid = List.of(repository("repo1", "testUser", new BranchDto("main", "not-a-sha")));
+
+        // When
+        var exception = assertThrows(EncodingException.class, () -> encode(new CompactCborEncoder(), invalid));
+
+        // Then
+        assertTrue(exception.getMessage().contains("not-a-sha"));
+        assertTrue(exception.getMessage().contains("testUser/repo1"));
+    }
+
+    @Test
+    void should_encode_error_as_protobuf() throws Exception {
+        // Given
+        var error = ErrorResponseDto.builder().status(404).message("User not found").build();
+        var encoder = new CompactProtobufEncoder();
+
+        // When
+        var buffer = encoder.encodeValue(error, DefaultDataBufferFactory.sharedInstance, ResolvableType.forClass(ErrorResponseDto.class), encoder.getMediaType(), null);
+
+        // Then
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        var input = CodedInputStream.newInstance(bytes);
+        assertEquals(1, WireFormat.getTagFieldNumber(input.readTag()));
+        assertEquals(404, input.readInt32());
+        assertEquals(2, WireFormat.getTagFieldNumber(input.readTag()));
+        assertEquals("User not found", input.readString());
+        assertTrue(input.isAtEnd());
+    }
+
+    @Test
+    void should_only_encode_supported_types() {
+        var encoder = new CompactCborEncoder();
+
+        assertTrue(encoder.canEncode(ResolvableType.forClass(RepositoryDto.class), MediaType.APPLICATION_CBOR));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(RepositoryDto.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(String.class), MediaType.APPLICATION_CBOR));
+    }
+
+    private static byte[] encode(CompactFormatEncoder encoder, List<RepositoryDto> repositories) {
+        var buffer = DataBufferUtils.join(encoder.encode(Flux.fromIterable(repositories), DefaultDataBufferFactory.sharedInstance,
+                                                         ResolvableType.forClass(RepositoryDto.class), encoder.getMediaType(), null))
+                                    .block();
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return bytes;
+    }
+
+    private static RepositoryDto repository(String name, String owner, BranchDto... branches) {
+        return RepositoryDto.builder()
+                            .repositoryName(name)
+                            .ownerLogin(owner)
+                            .branches(List.of(branches))
+                            .build();
+    }
+}
@@ -0,0 +1,207 @@
+package com.maciejprokopiuk.app.github;
+
+import com.maciejprokopiuk.app.core.models.BranchDto;
+import com.maciejprokopiuk.app.core.models.RepositoryDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubRepositoryCacheTest {
+
+    private final GithubRepositoryCache cache = new GithubRepositoryCache(Duration.ofHours(1), 10);
+
+    @Test
+    void should_return_cached_repositories_ignoring_owner_case() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When
+        var result = cache.get("TESTUSER");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("repo", result.get().get(0).getRepositoryName());
+    }
+
+    @Test
+    void should_update_existing_branch_sha() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"), new BranchDto("develop", "sha2"))));
+
+        // When
+        var patched = cache.updateBranch("testUser", "repo", "main", "sha1", "sha3");
+
+        // Then
+        assertTrue(patched);
+        var branches = cache.get("testUser").orElseThrow().get(0).getBranches();
+        assertEquals(List.of(new BranchDto("main", "sha3"), new BranchDto("develop", "sha2")), branches);
+    }
+
+    @Test
+    void should_add_new_branch() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When
+        var patched = cache.updateBranch("testUser", "repo", "feature", null, "sha2");
+
+        // Then
+        assertTrue(patched);
+        var branches = cache.get("testUser").orElseThrow().get(0).getBranches();
+        assertEquals(List.of(new BranchDto("main", "sha1"), new BranchDto("feature", "sha2")), branches);
+    }
+
+    @Test
+    void should_not_apply_push_delivered_out_of_order() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha3"))));
+
+        // When - older push (sha1 -> sha2) arrives after the one that moved main to sha3
+        var patched = cache.updateBranch("testUser", "repo", "main", "sha1", "sha2");
+
+        // Then
+        assertFalse(patched);
+        assertEquals(List.of(new BranchDto("main", "sha3")), cache.get("testUser").orElseThrow().get(0).getBranches());
+    }
+
+    @Test
+    void should_not_re_add_deleted_branch_on_late_push() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When - push to develop delivered after the branch was deleted
+        var patched = cache.updateBranch("testUser", "repo", "develop", "sha2", "sha3");
+
+        // Then
+        assertFalse(patched);
+        assertEquals(List.of(new BranchDto("main", "sha1")), cache.get("testUser").orElseThrow().get(0).getBranches());
+    }
+
+    @Test
+    void should_remove_branch() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"), new BranchDto("develop", "sha2"))));
+
+        // When
+        var patched = cache.removeBranch("testUser", "repo", "develop");
+
+        // Then
+        assertTrue(patched);
+        var branches = cache.get("testUser").orElseThrow().get(0).getBranches();
+        assertEquals(List.of(new BranchDto("main", "sha1")), branches);
+    }
+
+    @Test
+    void should_not_patch_unknown_repository() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When
+        var patched = cache.updateBranch("testUser", "otherRepo", "main", "sha1", "sha2");
+
+        // Then
+        assertFalse(patched);
+        assertFalse(cache.updateBranch("otherUser", "repo", "main", "sha1", "sha2"));
+    }
+
+    @Test
+    void should_invalidate_owner() {
+        // Given
+        cache.put("testUser", cache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When
+        cache.invalidate("testUser");
+
+        // Then
+        assertTrue(cache.get("testUser").isEmpty());
+    }
+
+    @Test
+    void should_not_cache_fetch_result_after_concurrent_invalidation() {
+        // Given
+        var generation = cache.generation("testUser");
+
+        // When
+        cache.invalidate("TestUser");
+        cache.put("testUser", generation, List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // Then
+        assertTrue(cache.get("testUser").isEmpty());
+    }
+
+    @Test
+    void should_not_cache_fetch_result_after_concurrent_patch() {
+        // Given
+        var generation = cache.generation("testUser");
+
+        // When
+        cache.updateBranch("testUser", "repo", "main", "sha1", "sha2");
+        cache.put("testUser", generation, List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // Then
+        assertTrue(cache.get("testUser").isEmpty());
+    }
+
+    @Test
+    void should_cache_fetch_result_of_owner_not_touched_by_webhooks() {
+        // Given
+        var generation = cache.generation("testUser");
+        cache.generation("otherUser");
+
+        // When
+        cache.invalidate("otherUser");
+        cache.updateBranch("otherUser", "repo", "main", "sha1", "sha2");
+        cache.put("testUser", generation, List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // Then
+        assertTrue(cache.get("testUser").isPresent());
+    }
+
+    @Test
+    void should_not_overwrite_patch_with_concurrently_fetched_snapshot() {
+        // Given
+        var generation = cache.generation("testUser");
+        var staleGeneration = cache.generation("testUser");
+        cache.put("testUser", generation, List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // When
+        cache.updateBranch("testUser", "repo", "main", "sha1", "sha2");
+        cache.put("testUser", staleGeneration, List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // Then
+        assertEquals(List.of(new BranchDto("main", "sha2")), cache.get("testUser").orElseThrow().get(0).getBranches());
+    }
+
+    @Test
+    void should_serve_pending_entry_as_cache_miss() {
+        // When
+        cache.generation("testUser");
+
+        // Then
+        assertTrue(cache.get("testUser").isEmpty());
+        assertFalse(cache.updateBranch("testUser", "repo", "main", "sha1", "sha2"));
+    }
+
+    @Test
+    void should_not_cache_when_ttl_is_zero() {
+        // Given
+        var disabledCache = new GithubRepositoryCache(Duration.ZERO, 10);
+
+        // When
+        disabledCache.put("testUser", disabledCache.generation("testUser"), List.of(repository("repo", new BranchDto("main", "sha1"))));
+
+        // Then
+        assertTrue(disabledCache.get("testUser").isEmpty());
+    }
+
+    private static RepositoryDto repository(String name, BranchDto... branches) {
+        return RepositoryDto.builder()
+                            .repositoryName(name)
+                            .ownerLogin("testUser")
+                            .branches(List.of(branches))
+                            .build();
+    }
+}
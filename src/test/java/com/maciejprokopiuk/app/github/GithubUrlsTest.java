@@ -0,0 +1,61 @@
+package com.maciejprokopiuk.app.github;
+
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.CharRange;
+import net.jqwik.api.constraints.NotEmpty;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubUrlsTest {
+
+    private static final String BASE_URL = "https://api.github.com";
+    // lone surrogates can't be encoded as UTF-8, so they are kept out of the round trip properties
+    private static final char MAX_NON_SURROGATE = '\uD7FF';
+
+    private final GithubUrls urls = new GithubUrls(BASE_URL, 100);
+
+    @Example
+    void should_build_urls_for_plain_names() {
+        assertEquals("https://api.github.com/users/maciek-prokopiuk/repos?per_page=100", urls.userRepositories("maciek-prokopiuk"));
+        assertEquals("https://api.github.com/repos/maciek-prokopiuk/AdventOfCode2022/branches?per_page=100",
+                     urls.repositoryBranches("maciek-prokopiuk", "AdventOfCode2022"));
+    }
+
+    @Example
+    void should_escape_reserved_characters() {
+        assertEquals("https://api.github.com/users/a%2Fb%3Fc%23d/repos?per_page=100", urls.userRepositories("a/b?c#d"));
+        assertEquals("https://api.github.com/repos/o%20o/r%C3%B3%25/branches?per_page=100", urls.repositoryBranches("o o", "r\u00f3%"));
+    }
+
+    @Property
+    void should_round_trip_any_username(@ForAll @NotEmpty @CharRange(to = MAX_NON_SURROGATE) String username) {
+        var uri = URI.create(urls.userRepositories(username));
+
+        assertEquals("/users/" + username + "/repos", uri.getPath());
+        assertEquals("per_page=100", uri.getQuery());
+    }
+
+    @Property
+    void should_round_trip_any_owner_and_repository_name(@ForAll @NotEmpty @CharRange(to = MAX_NON_SURROGATE) String owner,
+                                                         @ForAll @NotEmpty @CharRange(to = MAX_NON_SURROGATE) String repositoryName) {
+        var uri = URI.create(urls.repositoryBranches(owner, repositoryName));
+
+        assertEquals(BASE_URL, uri.getScheme() + "://" + uri.getAuthority());
+        var segments = uri.getRawPath().split("/");
+        assertEquals(5, segments.length);
+        assertEquals(owner, URI.create("/" + segments[2]).getPath().substring(1));
+        assertEquals(repositoryName, URI.create("/" + segments[3]).getPath().substring(1));
+    }
+
+    @Property
+    void should_only_emit_unreserved_characters_or_escapes(@ForAll String value) {
+        var encoded = new StringBuilder();
+        GithubUrls.appendPathSegment(encoded, value);
+
+        assertTrue(encoded.toString().matches("([A-Za-z0-9._~-]|%[0-9A-F]{2})*"), encoded::toString);
+    }
+}
@@ -7,12 +7,14 @@ import com.maciejprokopiuk.github.models.MinimalRepositoryDto;
 import com.maciejprokopiuk.github.models.ShortBranchCommitDto;
 import com.maciejprokopiuk.github.models.ShortBranchDto;
 import com.maciejprokopiuk.github.models.SimpleUserDto;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.net.URI;
@@ -23,9 +25,11 @@ import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.github.cache-ttl=1h")
 class GithubUserRepositoriesServiceTest {
 
     @MockBean
@@ -34,6 +38,14 @@ class GithubUserRepositoriesServiceTest {
     @Autowired
     private GithubRepositoriesService githubRepositoriesService;
 
+    @Autowired
+    private GithubRepositoryCache repositoryCache;
+
+    @BeforeEach
+    void setUp() {
+        repositoryCache.invalidateAll();
+    }
+
     @Test
     void should_return_single_repository() {
         // Given
@@ -167,6 +179,28 @@ class GithubUserRepositoriesServiceTest {
         assertTrue(duration < delayInSeconds * numberOfRepos * 1000, "Branches should be fetched in parallel");
     }
 
+    @Test
+    void should_serve_repositories_from_cache_on_subsequent_calls() {
+        // Given
+        var username = "testUser";
+        var repo = new MinimalRepositoryDto()
+                .name("repo")
+                .owner(new SimpleUserDto().login(username))
+                .fork(false);
+        when(githubClient.getAllRepositoriesForUser(username, MinimalRepositoryDto.class)).thenReturn(Flux.just(repo));
+
+        var branch = new ShortBranchDto().name("testBranch").commit(new ShortBranchCommitDto("sha", URI.create("uri")));
+        when(githubClient.getAllBranchesForRepo(username, "repo", ShortBranchDto.class)).thenReturn(Flux.just(branch));
+
+        // When
+        StepVerifier.create(githubRepositoriesService.getAllRepositoriesForUser(username)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(githubRepositoriesService.getAllRepositoriesForUser(username)).expectNextCount(1).verifyComplete();
+
+        // Then
+        verify(githubClient, times(1)).getAllRepositoriesForUser(username, MinimalRepositoryDto.class);
+        verify(githubClient, times(1)).getAllBranchesForRepo(username, "repo", ShortBranchDto.class);
+    }
+
     @Test
     void should_propagate_404_from_github_client() {
         // Given
@@ -175,8 +209,63 @@ class GithubUserRepositoriesServiceTest {
                 .thenThrow(new NotFoundException("An error occurred"));
 
         // When
+        Flux<RepositoryDto> result = githubRepositoriesService.getAllRepositoriesForUser(username);
+
+        // Then
+        StepVerifier.create(result)
+                    .expectError(NotFoundException.class)
+                    .verify();
+    }
+
+    @Test
+    void should_not_cache_repositories_invalidated_while_fetching() {
+        // Given
+        var username = "testUser";
+        var repo = new MinimalRepositoryDto()
+                .name("repo")
+                .owner(new SimpleUserDto().login(username))
+                .fork(false);
+        Sinks.Many<MinimalRepositoryDto> repos = Sinks.many().unicast().onBackpressureBuffer();
+        when(githubClient.getAllRepositoriesForUser(username, MinimalRepositoryDto.class)).thenReturn(repos.asFlux());
+
+        var branch = new ShortBranchDto().name("testBranch").commit(new ShortBranchCommitDto("sha", URI.create("uri")));
+        when(githubClient.getAllBranchesForRepo(username, "repo", ShortBranchDto.class)).thenReturn(Flux.just(branch));
+
+        // When
+        StepVerifier.create(githubRepositoriesService.getAllRepositoriesForUser(username))
+                    .then(() -> {
+                        // webhook lands while the fetch is in flight
+                        repositoryCache.invalidate(username);
+                        repos.tryEmitNext(repo);
+                        repos.tryEmitComplete();
+                    })
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+        // Then
+        assertTrue(repositoryCache.get(username).isEmpty());
+    }
+
+    @Test
+    void should_look_up_cache_on_subscription() {
+        // Given
+        var username = "testUser";
+        var repo = new MinimalRepositoryDto()
+                .name("repo")
+                .owner(new SimpleUserDto().login(username))
+                .fork(false);
+        when(githubClient.getAllRepositoriesForUser(username, MinimalRepositoryDto.class)).thenReturn(Flux.just(repo));
+
+        var branch = new ShortBranchDto().name("testBranch").commit(new ShortBranchCommitDto("sha", URI.create("uri")));
+        when(githubClient.getAllBranchesForRepo(username, "repo", ShortBranchDto.class)).thenReturn(Flux.just(branch));
+
+        // When
+        var result = githubRepositoriesService.getAllRepositoriesForUser(username);
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
         // Then
-        assertThrows(NotFoundException.class, () -> githubRepositoriesService.getAllRepositoriesForUser(username));
+        verify(githubClient, times(1)).getAllRepositoriesForUser(username, MinimalRepositoryDto.class);
     }
 
     @Test
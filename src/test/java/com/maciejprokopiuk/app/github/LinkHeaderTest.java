@@ -0,0 +1,87 @@
+package com.maciejprokopiuk.app.github;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkHeaderTest {
+
+    private static final String REPOS_URL = "https://api.github.com/user/2781712/repos?per_page=100&page=";
+
+    @Example
+    void should_parse_github_link_header() {
+        // Given
+        var header = "<" + REPOS_URL + "3>; rel=\"prev\", <" + REPOS_URL + "5>; rel=\"next\", "
+                + "<" + REPOS_URL + "7>; rel=\"last\", <" + REPOS_URL + "1>; rel=\"first\"";
+
+        // When
+        var result = LinkHeader.parse(header);
+
+        // Then
+        assertEquals(REPOS_URL + "5", result.next());
+        assertEquals(REPOS_URL + "3", result.prev());
+        assertEquals(REPOS_URL + "1", result.first());
+        assertEquals(REPOS_URL + "7", result.last());
+    }
+
+    @Example
+    void should_parse_multiple_relation_types_of_single_link() {
+        // When
+        var result = LinkHeader.parse("<" + REPOS_URL + "1>; rel=\"prev first\"");
+
+        // Then
+        assertEquals(REPOS_URL + "1", result.prev());
+        assertEquals(REPOS_URL + "1", result.first());
+        assertNull(result.next());
+    }
+
+    @Example
+    void should_return_empty_links_for_missing_header() {
+        assertSame(LinkHeader.EMPTY, LinkHeader.parse(null));
+        assertSame(LinkHeader.EMPTY, LinkHeader.parse(""));
+    }
+
+    @Property
+    void should_parse_any_combination_of_links(@ForAll("urls") String next, @ForAll("urls") String prev,
+                                               @ForAll("urls") String last, @ForAll boolean withNext,
+                                               @ForAll boolean withPrev, @ForAll boolean withLast, @ForAll long seed) {
+        // Given
+        var links = new ArrayList<String>();
+        if (withNext) links.add("<" + next + ">; rel=\"next\"");
+        if (withPrev) links.add("<" + prev + ">;rel=prev");
+        if (withLast) links.add("<" + last + ">; REL = \"last\"");
+        Collections.shuffle(links, new Random(seed));
+
+        // When
+        var result = LinkHeader.parse(String.join(", ", links));
+
+        // Then
+        assertEquals(withNext ? next : null, result.next());
+        assertEquals(withPrev ? prev : null, result.prev());
+        assertEquals(withLast ? last : null, result.last());
+        assertNull(result.first());
+    }
+
+    @Property
+    void should_never_fail_on_arbitrary_input(@ForAll String header) {
+        var result = LinkHeader.parse(header);
+
+        assertNotNull(result);
+    }
+
+    @Provide
+    Arbitrary<String> urls() {
+        var path = Arbitraries.strings().withCharRange('a', 'z').withChars("/-_.%,;= \"").ofMinLength(1).ofMaxLength(30);
+        var page = Arbitraries.integers().between(1, 1000);
+        return path.flatMap(p -> page.map(n -> "https://api.github.com/" + p + "?page=" + n));
+    }
+}
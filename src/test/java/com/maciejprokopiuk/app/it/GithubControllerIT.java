@@ -1,6 +1,12 @@
 package com.maciejprokopiuk.app.it;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.maciejprokopiuk.app.core.codecs.CompactProtobufEncoder;
+import com.maciejprokopiuk.app.github.GithubRepositoryCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +15,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import wiremock.org.eclipse.jetty.http.HttpStatus;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @IntegrationTestWithWireMockServer
@@ -22,9 +35,13 @@ public class GithubControllerIT {
     @Autowired
     private Environment env;
 
+    @Autowired
+    private GithubRepositoryCache repositoryCache;
+
     @BeforeEach
     void setUp() {
         WireMock.reset();
+        repositoryCache.invalidateAll();
     }
 
     @Test
@@ -98,6 +115,48 @@ public class GithubControllerIT {
         verify(exactly(2), getRequestedFor(urlMatching("/repos/maciek-prokopiuk/.*/branches\\?per_page=1")));
     }
 
+    @Test
+    void should_follow_next_links_when_last_link_is_present() {
+        // given
+        var username = "maciek-prokopiuk";
+
+        var wiremockPort = Integer.parseInt(env.getProperty("wiremock.server.port"));
+        var pageUrl = "http://localhost:" + wiremockPort + "/users/maciek-prokopiuk/repos?per_page=1&page=";
+
+        stubFor(get(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("link", "<" + pageUrl + "2>; rel=\"next\", <" + pageUrl + "3>; rel=\"last\"")
+                        .withBodyFile("get_repos_200_page1.json")
+                        .withStatus(HttpStatus.OK_200)));
+
+        stubFor(get(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1&page=2"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("link", "<" + pageUrl + "3>; rel=\"next\", <" + pageUrl + "3>; rel=\"last\"")
+                        .withBodyFile("get_repos_200_page2.json")
+                        .withStatus(HttpStatus.OK_200)));
+
+        stubFor(get(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1&page=3"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")
+                        .withStatus(HttpStatus.OK_200)));
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$[*].repositoryName").value(containsInAnyOrder("AdventOfCode2022", "codewise-internship-task-2k18"));
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1&page=2")));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1&page=3")));
+    }
+
     @Test
     void should_return_404_if_user_not_found() {
         // given
@@ -137,5 +196,166 @@ public class GithubControllerIT {
                      .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE_406);
     }
 
+    @Test
+    void should_return_repositories_as_protobuf() {
+        // given
+        var username = "maciek-prokopiuk";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .accept(CompactProtobufEncoder.APPLICATION_PROTOBUF)
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectHeader().contentTypeCompatibleWith(CompactProtobufEncoder.APPLICATION_PROTOBUF)
+                     .expectBody(byte[].class)
+                     .value(body -> {
+                         var owners = new ArrayList<String>();
+                         var shaLengths = new ArrayList<Integer>();
+                         var repositories = 0;
+                         try {
+                             var input = CodedInputStream.newInstance(body);
+                             int tag;
+                             while ((tag = input.readTag()) != 0) {
+                                 if (WireFormat.getTagFieldNumber(tag) == 1) {
+                                     owners.add(input.readString());
+                                     continue;
+                                 }
+                                 // repository message: name (1), owner index (2), branches (3)
+                                 repositories++;
+                                 var repositoryLimit = input.pushLimit(input.readRawVarint32());
+                                 while ((tag = input.readTag()) != 0) {
+                                     if (WireFormat.getTagFieldNumber(tag) == 3) {
+                                         var branchLimit = input.pushLimit(input.readRawVarint32());
+                                         while ((tag = input.readTag()) != 0) {
+                                             if (WireFormat.getTagFieldNumber(tag) == 2) {
+                                                 shaLengths.add(input.readByteArray().length);
+                                             } else {
+                                                 input.skipField(tag);
+                                             }
+                                         }
+                                         input.popLimit(branchLimit);
+                                     } else {
+                                         input.skipField(tag);
+                                     }
+                                 }
+                                 input.popLimit(repositoryLimit);
+                             }
+                         } catch (IOException e) {
+                             throw new UncheckedIOException(e);
+                         }
+                         assertEquals(List.of(username), owners);
+                         assertEquals(2, repositories);
+                         assertEquals(4, shaLengths.size());
+                         assertEquals(20, shaLengths.get(0));
+                     });
+    }
+
+    @Test
+    void should_return_404_as_protobuf() {
+        // given
+        var username = "nonexistentuser";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .accept(CompactProtobufEncoder.APPLICATION_PROTOBUF)
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectHeader().contentTypeCompatibleWith(CompactProtobufEncoder.APPLICATION_PROTOBUF)
+                     .expectBody(byte[].class)
+                     .value(body -> {
+                         try {
+                             var input = CodedInputStream.newInstance(body);
+                             assertEquals(1, WireFormat.getTagFieldNumber(input.readTag()));
+                             assertEquals(404, input.readInt32());
+                             assertEquals(2, WireFormat.getTagFieldNumber(input.readTag()));
+                             assertTrue(input.readString().startsWith("Resource not found"));
+                         } catch (IOException e) {
+                             throw new UncheckedIOException(e);
+                         }
+                     });
+    }
+
+    @Test
+    void should_return_404_as_json_when_json_is_preferred() {
+        // given
+        var username = "nonexistentuser";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .header("Accept", "application/json, application/cbor;q=0.1")
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                     .expectBody()
+                     .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    void should_return_repositories_and_404_in_preferred_binary_format() {
+        // given
+        var accept = "application/json;q=0.5, application/cbor";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/maciek-prokopiuk")
+                     .header("Accept", accept)
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR);
+
+        webTestClient.get()
+                     .uri("/repos/nonexistentuser")
+                     .header("Accept", accept)
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void should_return_repositories_as_cbor() {
+        // given
+        var username = "maciek-prokopiuk";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .accept(MediaType.APPLICATION_CBOR)
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                     .expectBody(byte[].class)
+                     .value(body -> {
+                         var tree = readCbor(body);
+                         assertEquals(username, tree.get("owners").get(0).asText());
+                         assertEquals(2, tree.get("repositories").size());
+                     });
+    }
+
+    @Test
+    void should_return_404_in_negotiated_format() {
+        // given
+        var username = "nonexistentuser";
+
+        // when & then
+        webTestClient.get()
+                     .uri("/repos/" + username)
+                     .accept(MediaType.APPLICATION_CBOR)
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                     .expectBody(byte[].class)
+                     .value(body -> assertEquals(404, readCbor(body).get("status").asInt()));
+    }
+
+    private static JsonNode readCbor(byte[] body) {
+        try {
+            return new CBORMapper().readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-}
\ No newline at end of file
+}
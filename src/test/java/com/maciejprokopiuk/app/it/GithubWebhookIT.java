@@ -0,0 +1,220 @@
+package com.maciejprokopiuk.app.it;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.maciejprokopiuk.app.github.GithubRepositoryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+@IntegrationTestWithWireMockServer
+public class GithubWebhookIT {
+
+    private static final String WEBHOOK_SECRET = "it-webhook-secret";
+    private static final String CACHED_SHA = "6dcb09b5b57875f334f61aebed695e2e4193db5e";
+    private static final String NEW_SHA = "0b76f75249ee9f3b257d815e2b19ae3244839897";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private GithubRepositoryCache repositoryCache;
+
+    @BeforeEach
+    void setUp() {
+        WireMock.reset();
+        repositoryCache.invalidateAll();
+    }
+
+    @Test
+    void should_patch_cached_branch_sha_on_push_event() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = pushPayload(CACHED_SHA, NEW_SHA);
+
+        // when
+        sendWebhook("push", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk()
+                         .expectBody()
+                         .jsonPath("$[?(@.repositoryName == 'AdventOfCode2022')].branches[?(@.branchName == 'main')].lastCommitSHA").value(hasItem(NEW_SHA));
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_accept_push_event_larger_than_default_codec_limit() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var commits = IntStream.range(0, 2048)
+                               .mapToObj(i -> "{\"id\": \"%040x\", \"message\": \"%s\"}".formatted(i, "x".repeat(200)))
+                               .collect(Collectors.joining(", "));
+        var payload = """
+                {"ref": "refs/heads/main", "before": "%s", "after": "%s", "deleted": false, "commits": [%s],
+                 "repository": {"name": "AdventOfCode2022", "fork": false, "owner": {"login": "maciek-prokopiuk"}}}
+                """.formatted(CACHED_SHA, NEW_SHA, commits);
+        assertTrue(payload.length() > 256 * 1024);
+
+        // when
+        sendWebhook("push", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk()
+                         .expectBody()
+                         .jsonPath("$[?(@.repositoryName == 'AdventOfCode2022')].branches[?(@.branchName == 'main')].lastCommitSHA").value(hasItem(NEW_SHA));
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_invalidate_cached_owner_on_out_of_order_push_event() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = pushPayload("1111111111111111111111111111111111111111", NEW_SHA);
+
+        // when
+        sendWebhook("push", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk()
+                         .expectBody()
+                         .jsonPath("$[*].branches[*].lastCommitSHA").value(not(hasItem(NEW_SHA)));
+
+        verify(exactly(2), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_remove_cached_branch_on_delete_event() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = """
+                {"ref": "develop", "ref_type": "branch",
+                 "repository": {"name": "AdventOfCode2022", "owner": {"login": "maciek-prokopiuk"}}}
+                """;
+
+        // when
+        sendWebhook("delete", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk()
+                         .expectBody()
+                         .jsonPath("$[?(@.repositoryName == 'AdventOfCode2022')].branches[*].branchName").value(containsInAnyOrder("main"));
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_invalidate_cached_owner_on_repository_event() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = """
+                {"action": "created",
+                 "repository": {"name": "new-repo", "owner": {"login": "maciek-prokopiuk"}}}
+                """;
+
+        // when
+        sendWebhook("repository", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk();
+
+        verify(exactly(2), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_invalidate_cached_owner_on_push_without_valid_sha() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = """
+                {"ref": "refs/heads/main", "after": "not-a-sha", "deleted": false,
+                 "repository": {"name": "AdventOfCode2022", "fork": false, "owner": {"login": "maciek-prokopiuk"}}}
+                """;
+
+        // when
+        sendWebhook("push", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk()
+                         .expectBody()
+                         .jsonPath("$[*].branches[*].lastCommitSHA").value(not(hasItem("not-a-sha")));
+
+        verify(exactly(2), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_keep_cached_owner_on_create_event() throws Exception {
+        // given
+        getRepositories().expectStatus().isOk();
+        var payload = """
+                {"ref": "feature", "ref_type": "branch",
+                 "repository": {"name": "AdventOfCode2022", "owner": {"login": "maciek-prokopiuk"}}}
+                """;
+
+        // when
+        sendWebhook("create", payload, sign(payload)).expectStatus().isNoContent();
+
+        // then
+        getRepositories().expectStatus().isOk();
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/users/maciek-prokopiuk/repos?per_page=1")));
+    }
+
+    @Test
+    void should_return_401_for_invalid_signature() {
+        // given
+        var payload = """
+                {"action": "deleted", "repository": {"name": "AdventOfCode2022", "owner": {"login": "maciek-prokopiuk"}}}
+                """;
+
+        // when & then
+        sendWebhook("repository", payload, "sha256=" + "00".repeat(32)).expectStatus().isUnauthorized();
+        sendWebhook("repository", payload, null).expectStatus().isUnauthorized();
+    }
+
+    private static String pushPayload(String before, String after) {
+        return """
+                {"ref": "refs/heads/main", "before": "%s", "after": "%s", "deleted": false,
+                 "repository": {"name": "AdventOfCode2022", "fork": false, "owner": {"login": "maciek-prokopiuk"}}}
+                """.formatted(before, after);
+    }
+
+    private WebTestClient.ResponseSpec getRepositories() {
+        return webTestClient.get()
+                            .uri("/repos/maciek-prokopiuk")
+                            .accept(MediaType.APPLICATION_JSON)
+                            .exchange();
+    }
+
+    private WebTestClient.ResponseSpec sendWebhook(String event, String payload, String signature) {
+        var request = webTestClient.post()
+                                   .uri("/webhooks/github")
+                                   .contentType(MediaType.APPLICATION_JSON)
+                                   .header("X-GitHub-Event", event);
+        if (signature != null) {
+            request.header("X-Hub-Signature-256", signature);
+        }
+        return request.bodyValue(payload.getBytes(StandardCharsets.UTF_8)).exchange();
+    }
+
+    private static String sign(String payload) throws Exception {
+        var mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(WEBHOOK_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}